@@ -22,7 +22,19 @@ public class Bag<T> {
         }
         totalSize++;
     }
-    
+
+    // Add several occurrences of an item to the bag in one step
+    public void add(T item, int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences cannot be negative: " + occurrences);
+        }
+        if (occurrences == 0) {
+            return;
+        }
+        items.merge(item, occurrences, Integer::sum);
+        totalSize += occurrences;
+    }
+
     // Remove one occurrence of an item from the bag
     // If item count becomes 0, remove it completely from the bag
     public void remove(T item) {
@@ -36,6 +48,25 @@ public class Bag<T> {
             totalSize--;
         }
     }
+
+    // Remove up to the given number of occurrences of an item in one step
+    // If item count becomes 0, remove it completely from the bag
+    public void remove(T item, int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences cannot be negative: " + occurrences);
+        }
+        Integer count = items.get(item);
+        if (count == null || occurrences == 0) {
+            return;
+        }
+        if (count > occurrences) {
+            items.put(item, count - occurrences);
+            totalSize -= occurrences;
+        } else {
+            items.remove(item);
+            totalSize -= count;
+        }
+    }
     
     // Check if an item exists in the bag
     public boolean contains(T item) {
@@ -67,6 +98,30 @@ public class Bag<T> {
         return new HashSet<>(items.keySet());
     }
     
+    // Get the k most frequent items, highest count first
+    // Uses a min-heap of size k so the cost is O(n log k) over the unique items
+    public List<T> topK(int k) {
+        if (k <= 0 || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<Map.Entry<T, Integer>> heap =
+            new PriorityQueue<>(Math.min(k, items.size()) + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<T, Integer> entry : items.entrySet()) {
+            if (heap.size() < k) {
+                heap.offer(entry);
+            } else if (entry.getValue() > heap.peek().getValue()) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        }
+        List<T> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().getKey());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
     // Clear all items from the bag
     public void clear() {
         items.clear();
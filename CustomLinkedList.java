@@ -0,0 +1,164 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Scanner;
+
+class CustomLinkedList implements Iterable<Integer> {
+    private Node head;
+    private Node tail;
+    private int size;
+
+    public CustomLinkedList() {
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+    }
+
+    // Insert method - adds element at the end of the list
+    // Keeps a tail pointer so appending is O(1), which matters when streaming a file in
+    public void insert(int data) {
+        Node newNode = new Node(data);
+        
+        if (head == null) {
+            head = newNode;
+        } else {
+            tail.next = newNode;
+        }
+        tail = newNode;
+        size++;
+    }
+
+    // Insert at beginning for better performance if needed
+    public void insertAtBeginning(int data) {
+        Node newNode = new Node(data);
+        newNode.next = head;
+        head = newNode;
+        if (tail == null) {
+            tail = newNode;
+        }
+        size++;
+    }
+
+    // Delete method - removes first occurrence of the data
+    public boolean delete(int data) {
+        if (head == null) {
+            return false;
+        }
+
+        // If head node contains the data to be deleted
+        if (head.data == data) {
+            head = head.next;
+            if (head == null) {
+                tail = null;
+            }
+            size--;
+            return true;
+        }
+
+        Node current = head;
+        while (current.next != null) {
+            if (current.next.data == data) {
+                if (current.next == tail) {
+                    tail = current;
+                }
+                current.next = current.next.next;
+                size--;
+                return true;
+            }
+            current = current.next;
+        }
+        return false; // Data not found
+    }
+
+    // Get size of the list
+    public int size() {
+        return size;
+    }
+
+    // Check if list is empty
+    public boolean isEmpty() {
+        return head == null;
+    }
+
+    // Display method for debugging
+    public void display() {
+        if (head == null) {
+            System.out.println("List is empty");
+            return;
+        }
+        
+        Node current = head;
+        System.out.print("LinkedList: ");
+        while (current != null) {
+            System.out.print(current.data);
+            if (current.next != null) {
+                System.out.print(" -> ");
+            }
+            current = current.next;
+        }
+        System.out.println();
+    }
+
+    // Load data from text file
+    public void loadFromFile(String filename) {
+        try {
+            File file = new File(filename);
+            Scanner scanner = new Scanner(file);
+            
+            while (scanner.hasNextInt()) {
+                int data = scanner.nextInt();
+                insert(data);
+            }
+            scanner.close();
+            System.out.println("Data loaded successfully from " + filename);
+            
+        } catch (FileNotFoundException e) {
+            System.err.println("File not found: " + filename);
+        } catch (Exception e) {
+            System.err.println("Error reading file: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new LinkedListIterator();
+    }
+
+    // Node class
+    private class Node {
+        int data;
+        Node next;
+
+        Node(int data) {
+            this.data = data;
+            this.next = null;
+        }
+    }
+
+    // Iterator implementation
+    private class LinkedListIterator implements Iterator<Integer> {
+        private Node current = head;
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in the list");
+            }
+            int data = current.data;
+            current = current.next;
+            return data;
+        }
+
+        // Optional: remove method for iterator
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation not supported");
+        }
+    }
+}
@@ -6,6 +6,17 @@ import java.util.*;
  */
 public class InfixCalculator {
     
+    private static final int CACHE_CAPACITY = 256;
+    
+    // Least recently used cache of parsed expressions, keyed by the original text
+    private static final Map<String, Expression> expressionCache = Collections.synchronizedMap(
+        new LinkedHashMap<String, Expression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        });
+    
     /**
      * Evaluates an infix expression and returns the result
      * @param expression The infix expression as a string
@@ -17,15 +28,35 @@ public class InfixCalculator {
             throw new IllegalArgumentException("Expression cannot be empty");
         }
         
+        // Parse once and reuse the parsed form for repeated expressions
+        Expression parsed = expressionCache.get(expression);
+        if (parsed == null) {
+            parsed = parse(expression);
+            expressionCache.put(expression, parsed);
+        }
+        return parsed.evaluate();
+    }
+    
+    /**
+     * Parses an infix expression once so it can be evaluated many times
+     * @param expression The infix expression as a string
+     * @return The parsed expression
+     * @throws IllegalArgumentException for invalid expressions
+     */
+    public static Expression parse(String expression) throws IllegalArgumentException {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("Expression cannot be empty");
+        }
+        
         // Remove spaces and validate characters
         expression = expression.replaceAll("\\s+", "");
         if (!isValidExpression(expression)) {
             throw new IllegalArgumentException("Invalid characters in expression");
         }
         
-        // Convert infix to postfix, then evaluate
+        // Convert infix to postfix, then flatten it for evaluation
         String postfix = infixToPostfix(expression);
-        return evaluatePostfix(postfix);
+        return parsePostfix(postfix);
     }
     
     /**
@@ -81,32 +112,36 @@ public class InfixCalculator {
     }
     
     /**
-     * Evaluates a postfix expression
+     * Flattens a postfix expression into parallel operand/operator arrays
+     * and checks that every operator has enough operands
      */
-    private static double evaluatePostfix(String postfix) {
-        Stack<Double> stack = new Stack<>();
+    private static Expression parsePostfix(String postfix) {
         String[] tokens = postfix.split("\\s+");
+        double[] values = new double[tokens.length];
+        char[] operators = new char[tokens.length];
+        int length = 0;
+        int depth = 0;
+        int maxDepth = 0;
         
         for (String token : tokens) {
             if (token.matches("-?\\d+(\\.\\d+)?")) { // Number (including negative)
-                stack.push(Double.parseDouble(token));
+                values[length++] = Double.parseDouble(token);
+                maxDepth = Math.max(maxDepth, ++depth);
             }
-            else if (isOperator(token.charAt(0))) {
-                if (stack.size() < 2) {
+            else if (!token.isEmpty() && isOperator(token.charAt(0))) {
+                if (depth < 2) {
                     throw new IllegalArgumentException("Invalid expression: insufficient operands");
                 }
-                double b = stack.pop();
-                double a = stack.pop();
-                double result = performOperation(a, b, token.charAt(0));
-                stack.push(result);
+                operators[length++] = token.charAt(0);
+                depth--;
             }
         }
         
-        if (stack.size() != 1) {
+        if (depth != 1) {
             throw new IllegalArgumentException("Invalid expression: too many operands");
         }
         
-        return stack.pop();
+        return new Expression(Arrays.copyOf(values, length), Arrays.copyOf(operators, length), maxDepth);
     }
     
     /**
@@ -127,6 +162,64 @@ public class InfixCalculator {
         }
     }
     
+    /**
+     * A parsed expression. Expressions contain only constants, so every evaluation
+     * gives the same result or fails with the same error. The first evaluation runs
+     * the interpreter and its outcome is memoized; later evaluations return it directly.
+     */
+    public static final class Expression {
+        private final double[] values;
+        private final char[] operators;
+        private final int maxDepth;
+        private volatile boolean evaluated;
+        private double result;
+        private String error;
+        
+        private Expression(double[] values, char[] operators, int maxDepth) {
+            this.values = values;
+            this.operators = operators;
+            this.maxDepth = maxDepth;
+        }
+        
+        /**
+         * Evaluates the expression, reusing the memoized outcome after the first call
+         * @return The calculated result as a double
+         * @throws IllegalArgumentException on division or modulo by zero
+         */
+        public double evaluate() {
+            if (!evaluated) {
+                try {
+                    result = interpret();
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+                evaluated = true;
+            }
+            if (error != null) {
+                throw new IllegalArgumentException(error);
+            }
+            return result;
+        }
+        
+        /**
+         * Walks the postfix arrays with a primitive stack, without memoizing
+         */
+        double interpret() {
+            double[] stack = new double[maxDepth];
+            int top = 0;
+            for (int i = 0; i < operators.length; i++) {
+                if (operators[i] == 0) {
+                    stack[top++] = values[i];
+                } else {
+                    double b = stack[--top];
+                    double a = stack[--top];
+                    stack[top++] = performOperation(a, b, operators[i]);
+                }
+            }
+            return stack[0];
+        }
+    }
+    
     /**
      * Returns operator precedence
      */
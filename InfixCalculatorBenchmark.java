@@ -0,0 +1,84 @@
+/**
+ * Benchmark for InfixCalculator's evaluation paths
+ * Compares parsing on every call, interpreting a parsed expression, and the
+ * memoized outcome a parsed expression returns after its first evaluation
+ * Usage: java InfixCalculatorBenchmark [iterations] [expression]
+ */
+public class InfixCalculatorBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        String expression = args.length > 1 ? args[1] : "((12.5*4)+(7-3)*(9/3))%7+100/8-2*3.5";
+
+        System.out.println("=== InfixCalculator Benchmark ===");
+        checkSameOutcome("(1/0)+(2%0)");
+        checkSameOutcome(expression);
+        System.out.println("Expression: " + expression);
+        System.out.println("Iterations: " + iterations);
+        System.out.println();
+
+        // Parsing dominates, so this path runs far fewer iterations
+        int parseIterations = Math.max(1, iterations / 100);
+        InfixCalculator.Expression parsed = InfixCalculator.parse(expression);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.println("Round " + round + ":");
+
+            long start = System.nanoTime();
+            double sum = 0;
+            for (int i = 0; i < parseIterations; i++) {
+                sum += InfixCalculator.parse(expression).interpret();
+            }
+            report("Parse every call", start, parseIterations, sum);
+
+            start = System.nanoTime();
+            sum = 0;
+            for (int i = 0; i < iterations; i++) {
+                sum += parsed.interpret();
+            }
+            report("Interpret parsed", start, iterations, sum);
+
+            start = System.nanoTime();
+            sum = 0;
+            for (int i = 0; i < iterations; i++) {
+                sum += parsed.evaluate();
+            }
+            report("Memoized", start, iterations, sum);
+            System.out.println();
+        }
+    }
+
+    /**
+     * Checks that the memoized path gives the interpreter's result or error on every call
+     */
+    private static void checkSameOutcome(String expression) {
+        InfixCalculator.Expression parsed = InfixCalculator.parse(expression);
+        String expected = outcome(parsed, false);
+        for (int i = 0; i < 3; i++) {
+            String actual = outcome(parsed, true);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Memoized outcome '" + actual + "' differs from interpreted '"
+                    + expected + "' for " + expression);
+            }
+        }
+        System.out.println("Same outcome for " + expression + ": " + expected);
+    }
+
+    private static String outcome(InfixCalculator.Expression parsed, boolean memoized) {
+        try {
+            return String.valueOf(memoized ? parsed.evaluate() : parsed.interpret());
+        } catch (IllegalArgumentException e) {
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Prints nanoseconds per evaluation; the sum keeps the loop from being removed
+     */
+    private static void report(String label, long start, int iterations, double sum) {
+        double nanosPerEval = (System.nanoTime() - start) / (double) iterations;
+        System.out.printf("  %-20s %10.2f ns/eval  (checksum %.1f)%n", label, nanosPerEval, sum);
+    }
+}
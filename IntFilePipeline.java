@@ -0,0 +1,278 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Streaming ingest pipeline: reads whitespace separated integers from a file in
+ * fixed-size primitive batches and hands each batch straight to its consumers.
+ *
+ * A background reader thread parses into one int[] batch while the calling thread
+ * processes the other one (double buffering), so file I/O overlaps with processing.
+ * Only two batches ever exist, so peak memory is bounded by the batch size rather
+ * than the file size, and no boxed intermediate list is built.
+ */
+public class IntFilePipeline {
+
+    /**
+     * Receives batches from the pipeline. The array is reused once accept returns,
+     * so consumers must copy anything they want to keep.
+     */
+    public interface BatchConsumer {
+        void accept(int[] batch, int length);
+
+        /**
+         * Called once after the last batch
+         */
+        default void finish() {
+        }
+    }
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final Batch END = new Batch(null, -1);
+
+    private final String filename;
+    private final int batchSize;
+    private volatile Throwable failure;
+
+    /**
+     * Creates a pipeline over the given file
+     * @param filename The file of integers to read
+     * @param batchSize Number of integers per batch
+     */
+    public IntFilePipeline(String filename, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.filename = filename;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Streams the whole file through the consumers, in the given order for each batch
+     * @return The number of integers read
+     * @throws IOException if the file cannot be read or contains an invalid token
+     */
+    public long run(BatchConsumer... consumers) throws IOException {
+        failure = null;
+        BlockingQueue<int[]> free = new ArrayBlockingQueue<>(2);
+        // Two filled batches plus the end marker
+        BlockingQueue<Batch> full = new ArrayBlockingQueue<>(3);
+        free.add(new int[batchSize]);
+        free.add(new int[batchSize]);
+
+        Thread reader = new Thread(() -> readBatches(free, full), "int-file-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        long total = 0;
+        try {
+            while (true) {
+                Batch batch = full.take();
+                if (batch == END) {
+                    break;
+                }
+                for (BatchConsumer consumer : consumers) {
+                    consumer.accept(batch.data, batch.length);
+                }
+                total += batch.length;
+                free.put(batch.data);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming " + filename);
+        } finally {
+            // Stops the reader early if a consumer failed; harmless once it has finished
+            reader.interrupt();
+            joinQuietly(reader);
+        }
+
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IOException("Reader failed on " + filename, failure);
+        }
+        for (BatchConsumer consumer : consumers) {
+            consumer.finish();
+        }
+        return total;
+    }
+
+    /**
+     * Consumer that counts every integer in a bag
+     */
+    public static BatchConsumer toBag(Bag<Integer> bag) {
+        return (batch, length) -> {
+            for (int i = 0; i < length; i++) {
+                bag.add(batch[i]);
+            }
+        };
+    }
+
+    /**
+     * Consumer that appends every integer to a linked list
+     */
+    public static BatchConsumer toList(CustomLinkedList list) {
+        return (batch, length) -> {
+            for (int i = 0; i < length; i++) {
+                list.insert(batch[i]);
+            }
+        };
+    }
+
+    /**
+     * Consumer that radix sorts each batch into its own buffer and passes the sorted
+     * chunk downstream. The incoming batch is left untouched so other consumers still
+     * see file order.
+     */
+    public static BatchConsumer sortedChunks(BatchConsumer downstream) {
+        return new BatchConsumer() {
+            private int[] chunk = new int[0];
+
+            @Override
+            public void accept(int[] batch, int length) {
+                if (chunk.length < length) {
+                    chunk = new int[batch.length];
+                }
+                System.arraycopy(batch, 0, chunk, 0, length);
+                RadixSort.radixSort(chunk, length);
+                downstream.accept(chunk, length);
+            }
+
+            @Override
+            public void finish() {
+                downstream.finish();
+            }
+        };
+    }
+
+    /**
+     * Reader thread body: parse the file into batches until end of file or failure
+     */
+    private void readBatches(BlockingQueue<int[]> free, BlockingQueue<Batch> full) {
+        try {
+            parseFile(free, full);
+        } catch (InterruptedException e) {
+            // Consumer side is already gone
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            // The queue always has room for the end marker, so this never blocks
+            full.offer(END);
+        }
+    }
+
+    /**
+     * Parses signed decimal integers straight from the byte stream without
+     * creating a String per token
+     */
+    private void parseFile(BlockingQueue<int[]> free, BlockingQueue<Batch> full)
+            throws IOException, InterruptedException {
+        try (InputStream in = new FileInputStream(filename)) {
+            byte[] buffer = new byte[IO_BUFFER_SIZE];
+            int[] batch = free.take();
+            int count = 0;
+            long value = 0;
+            boolean negative = false;
+            boolean inNumber = false;
+            long position = 0;
+            int read;
+
+            while ((read = in.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++, position++) {
+                    byte b = buffer[i];
+                    if (b >= '0' && b <= '9') {
+                        value = value * 10 + (b - '0');
+                        if (value > (negative ? 2147483648L : Integer.MAX_VALUE)) {
+                            throw new IOException("Integer out of range at byte " + position + " in " + filename);
+                        }
+                        inNumber = true;
+                    } else if (b == '-' && !inNumber && !negative) {
+                        negative = true;
+                    } else if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f') {
+                        if (inNumber) {
+                            batch[count++] = (int) (negative ? -value : value);
+                            if (count == batchSize) {
+                                full.put(new Batch(batch, count));
+                                batch = free.take();
+                                count = 0;
+                            }
+                        } else if (negative) {
+                            throw new IOException("Invalid token '-' at byte " + position + " in " + filename);
+                        }
+                        value = 0;
+                        negative = false;
+                        inNumber = false;
+                    } else {
+                        throw new IOException("Invalid character '" + (char) (b & 0xFF) + "' at byte "
+                            + position + " in " + filename);
+                    }
+                }
+            }
+
+            if (inNumber) {
+                batch[count++] = (int) (negative ? -value : value);
+            } else if (negative) {
+                throw new IOException("Invalid token '-' at end of " + filename);
+            }
+            if (count > 0) {
+                full.put(new Batch(batch, count));
+            }
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A filled batch travelling from the reader to the consumers
+     */
+    private static final class Batch {
+        final int[] data;
+        final int length;
+
+        Batch(int[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Streams a file into a bag and sorted chunks
+     * Usage: java IntFilePipeline [filename] [batchSize]
+     */
+    public static void main(String[] args) throws IOException {
+        String filename = args.length > 0 ? args[0] : "data.txt";
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        Bag<Integer> bag = new Bag<>();
+        IntFilePipeline pipeline = new IntFilePipeline(filename, batchSize);
+        long read = pipeline.run(
+            toBag(bag),
+            sortedChunks((chunk, length) ->
+                System.out.println("Sorted chunk: " + java.util.Arrays.toString(java.util.Arrays.copyOf(chunk, length)))));
+
+        System.out.println("Integers read: " + read);
+        System.out.println(bag);
+    }
+}
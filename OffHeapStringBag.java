@@ -0,0 +1,489 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// String-specialized Bag that keeps keys and counts outside the Java heap
+// Keys are stored as UTF-8 bytes in a direct ByteBuffer arena, one entry per unique key:
+//   [int count][int length][length bytes]
+// A second direct buffer is an open-addressing hash index with linear probing, one slot per
+// possible key: [int hash][int entry offset + 1] (0 means the slot is empty).
+// Lookups hash and compare bytes in place, so a CharSequence or byte[] never has to be turned
+// into a String and the heap holds no per-key objects at all.
+// A removed key keeps its entry with a zero count until dead entries fill half of the arena;
+// then the arena is compacted in place and the index rebuilt, so add/remove churn over
+// distinct keys stays bounded by the live keys.
+// Capacity: at most MAX_KEYS unique keys (index kept at load 0.5) and about 2 GB of key bytes.
+// Not thread safe: lookups reuse a scratch buffer for UTF-8 encoding.
+public class OffHeapStringBag {
+    private static final int SLOT_BYTES = 8;
+    private static final int ENTRY_HEADER_BYTES = 8;
+    private static final int MAX_ARENA_BYTES = Integer.MAX_VALUE - 8;
+    // Largest power-of-two slot count whose index still fits in one ByteBuffer
+    private static final int MAX_SLOTS = 1 << 27;
+    public static final int MAX_KEYS = MAX_SLOTS / 2;
+    // Arenas smaller than this are never compacted
+    private static final int MIN_COMPACT_BYTES = 64 * 1024;
+
+    private ByteBuffer index;
+    private ByteBuffer arena;
+    private int slotMask;
+    private int slotsUsed;
+    private int arenaUsed;
+    private int deadBytes;
+    private int uniqueSize;
+    private long totalSize;
+    private byte[] scratch = new byte[64];
+
+    // Constructor: Initialize an empty bag with room for a small number of keys
+    public OffHeapStringBag() {
+        this(1024);
+    }
+
+    // Constructor: Initialize an empty bag sized for the expected number of unique keys
+    public OffHeapStringBag(int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("Expected keys cannot be negative: " + expectedKeys);
+        }
+        if (expectedKeys > MAX_KEYS) {
+            throw new IllegalArgumentException("Expected keys " + expectedKeys + " exceeds the limit of "
+                + MAX_KEYS + " unique keys");
+        }
+        int slots = tableSizeFor(Math.max(16L, expectedKeys * 2L));
+        index = ByteBuffer.allocateDirect((int) ((long) slots * SLOT_BYTES));
+        slotMask = slots - 1;
+        arena = ByteBuffer.allocateDirect((int) Math.min(MAX_ARENA_BYTES, Math.max(1024L, expectedKeys * 16L)));
+    }
+
+    // Add one occurrence of a key
+    public void add(CharSequence item) {
+        int length = encode(item);
+        add(scratch, 0, length);
+    }
+
+    // Add one occurrence of a key given as UTF-8 bytes
+    public void add(byte[] utf8) {
+        add(utf8, 0, utf8.length);
+    }
+
+    // Add one occurrence of a key given as a slice of UTF-8 bytes
+    public void add(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        int hash = hash(utf8, offset, length);
+        int slot = findSlot(utf8, offset, length, hash);
+        int ref = index.getInt(slot * SLOT_BYTES + 4);
+        int entry;
+        if (ref == 0) {
+            // Make room before writing anything, so a rejected add leaves the bag unchanged
+            if (reserveSpace(length)) {
+                slot = findSlot(utf8, offset, length, hash);
+            }
+            entry = appendEntry(utf8, offset, length);
+            index.putInt(slot * SLOT_BYTES, hash);
+            index.putInt(slot * SLOT_BYTES + 4, entry + 1);
+            slotsUsed++;
+        } else {
+            entry = ref - 1;
+        }
+        int count = arena.getInt(entry);
+        if (count == 0) {
+            uniqueSize++;
+            if (ref != 0) {
+                // Reviving a removed key
+                deadBytes -= ENTRY_HEADER_BYTES + length;
+            }
+        }
+        arena.putInt(entry, count + 1);
+        totalSize++;
+    }
+
+    // Remove one occurrence of a key
+    // A key whose count drops to zero stays in the arena until the next compaction
+    public void remove(CharSequence item) {
+        int length = encode(item);
+        remove(scratch, 0, length);
+    }
+
+    // Remove one occurrence of a key given as UTF-8 bytes
+    public void remove(byte[] utf8) {
+        remove(utf8, 0, utf8.length);
+    }
+
+    // Remove one occurrence of a key given as a slice of UTF-8 bytes
+    public void remove(byte[] utf8, int offset, int length) {
+        int entry = findEntry(utf8, offset, length);
+        if (entry < 0) {
+            return;
+        }
+        int count = arena.getInt(entry);
+        if (count > 0) {
+            arena.putInt(entry, count - 1);
+            totalSize--;
+            if (count == 1) {
+                uniqueSize--;
+                deadBytes += ENTRY_HEADER_BYTES + length;
+                if (deadBytes >= MIN_COMPACT_BYTES && deadBytes * 2L > arenaUsed) {
+                    compact();
+                }
+            }
+        }
+    }
+
+    // Count the number of occurrences of a key
+    public int count(CharSequence item) {
+        int length = encode(item);
+        return count(scratch, 0, length);
+    }
+
+    // Count the number of occurrences of a key given as UTF-8 bytes
+    public int count(byte[] utf8) {
+        return count(utf8, 0, utf8.length);
+    }
+
+    // Count the number of occurrences of a key given as a slice of UTF-8 bytes
+    public int count(byte[] utf8, int offset, int length) {
+        int entry = findEntry(utf8, offset, length);
+        return entry < 0 ? 0 : arena.getInt(entry);
+    }
+
+    // Check if a key exists in the bag
+    public boolean contains(CharSequence item) {
+        return count(item) > 0;
+    }
+
+    // Check if a key given as UTF-8 bytes exists in the bag
+    public boolean contains(byte[] utf8) {
+        return count(utf8, 0, utf8.length) > 0;
+    }
+
+    // Check if a key given as a slice of UTF-8 bytes exists in the bag
+    public boolean contains(byte[] utf8, int offset, int length) {
+        return count(utf8, offset, length) > 0;
+    }
+
+    // Get the total size of the bag (including duplicates)
+    public long size() {
+        return totalSize;
+    }
+
+    // Get the number of unique keys in the bag
+    public int uniqueSize() {
+        return uniqueSize;
+    }
+
+    // Check if the bag is empty
+    public boolean isEmpty() {
+        return totalSize == 0;
+    }
+
+    // Get the exact number of off-heap bytes reserved by the index and the arena
+    public long memoryUsage() {
+        return (long) index.capacity() + arena.capacity();
+    }
+
+    // Get the number of arena bytes actually holding keys and counts
+    public long arenaBytesUsed() {
+        return arenaUsed;
+    }
+
+    // Get all unique keys in the bag
+    // This builds a String per key, so it is meant for small bags and debugging
+    public Set<String> getUniqueItems() {
+        Set<String> keys = new HashSet<>();
+        int entry = 0;
+        while (entry < arenaUsed) {
+            int length = arena.getInt(entry + 4);
+            if (arena.getInt(entry) > 0) {
+                keys.add(decode(entry, length));
+            }
+            entry += ENTRY_HEADER_BYTES + length;
+        }
+        return keys;
+    }
+
+    // Copy the contents into a regular heap Bag
+    public Bag<String> toBag() {
+        Bag<String> bag = new Bag<>();
+        int entry = 0;
+        while (entry < arenaUsed) {
+            int count = arena.getInt(entry);
+            int length = arena.getInt(entry + 4);
+            if (count > 0) {
+                bag.add(decode(entry, length), count);
+            }
+            entry += ENTRY_HEADER_BYTES + length;
+        }
+        return bag;
+    }
+
+    // Clear all keys from the bag, keeping the allocated memory for reuse
+    public void clear() {
+        for (int i = 0; i < index.capacity(); i += SLOT_BYTES) {
+            index.putLong(i, 0L);
+        }
+        slotsUsed = 0;
+        arenaUsed = 0;
+        deadBytes = 0;
+        uniqueSize = 0;
+        totalSize = 0;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "Bag is empty";
+        }
+        return "Off-heap bag: " + uniqueSize + " unique keys | Total size: " + totalSize
+            + " | Memory: " + memoryUsage() + " bytes";
+    }
+
+    // Return the entry offset for a key, or -1 when it was never added
+    private int findEntry(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        int slot = findSlot(utf8, offset, length, hash(utf8, offset, length));
+        return index.getInt(slot * SLOT_BYTES + 4) - 1;
+    }
+
+    // Linear probing: return the slot holding the key, or the empty slot where it belongs
+    private int findSlot(byte[] utf8, int offset, int length, int hash) {
+        int slot = hash & slotMask;
+        while (true) {
+            int ref = index.getInt(slot * SLOT_BYTES + 4);
+            if (ref == 0) {
+                return slot;
+            }
+            if (index.getInt(slot * SLOT_BYTES) == hash && keyEquals(ref - 1, utf8, offset, length)) {
+                return slot;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    private boolean keyEquals(int entry, byte[] utf8, int offset, int length) {
+        if (arena.getInt(entry + 4) != length) {
+            return false;
+        }
+        int base = entry + ENTRY_HEADER_BYTES;
+        for (int i = 0; i < length; i++) {
+            if (arena.get(base + i) != utf8[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Ensure one more key of the given length fits in both the index (kept at load 0.5)
+    // and the arena. Zero-count keys still hold slots and bytes, so compact before
+    // giving up. Returns true when the index was rebuilt and slot positions changed.
+    private boolean reserveSpace(int length) {
+        boolean rebuilt = false;
+        if ((slotsUsed + 1L) * 2 > slotMask + 1L) {
+            if (slotMask + 1 < MAX_SLOTS) {
+                growIndex();
+            } else if (slotsUsed > uniqueSize) {
+                compact();
+            }
+            rebuilt = true;
+            if ((slotsUsed + 1L) * 2 > slotMask + 1L) {
+                throw new IllegalStateException("Off-heap bag is full: " + MAX_KEYS + " unique keys");
+            }
+        }
+        if ((long) arenaUsed + ENTRY_HEADER_BYTES + length > MAX_ARENA_BYTES && deadBytes > 0) {
+            compact();
+            rebuilt = true;
+        }
+        return rebuilt;
+    }
+
+    // Append a new entry with a zero count and return its offset
+    private int appendEntry(byte[] utf8, int offset, int length) {
+        long needed = (long) arenaUsed + ENTRY_HEADER_BYTES + length;
+        if (needed > MAX_ARENA_BYTES) {
+            throw new IllegalStateException("Off-heap arena is full (" + arenaUsed + " bytes)");
+        }
+        if (needed > arena.capacity()) {
+            long newCapacity = Math.min(MAX_ARENA_BYTES, Math.max(needed, arena.capacity() * 2L));
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) newCapacity);
+            grown.put(0, arena, 0, arenaUsed);
+            arena = grown;
+        }
+        int entry = arenaUsed;
+        arena.putInt(entry, 0);
+        arena.putInt(entry + 4, length);
+        arena.put(entry + ENTRY_HEADER_BYTES, utf8, offset, length);
+        arenaUsed = (int) needed;
+        return entry;
+    }
+
+    // Slide live entries to the front of the arena and rebuild the index around them
+    // Entries only move towards lower offsets, so a forward copy is safe in place
+    private void compact() {
+        for (int i = 0; i < index.capacity(); i += SLOT_BYTES) {
+            index.putLong(i, 0L);
+        }
+        int read = 0;
+        int write = 0;
+        while (read < arenaUsed) {
+            int length = arena.getInt(read + 4);
+            int entryBytes = ENTRY_HEADER_BYTES + length;
+            if (arena.getInt(read) > 0) {
+                if (write != read) {
+                    for (int i = 0; i < entryBytes; i++) {
+                        arena.put(write + i, arena.get(read + i));
+                    }
+                }
+                int hash = hash(arena, write + ENTRY_HEADER_BYTES, length);
+                int slot = hash & slotMask;
+                while (index.getInt(slot * SLOT_BYTES + 4) != 0) {
+                    slot = (slot + 1) & slotMask;
+                }
+                index.putInt(slot * SLOT_BYTES, hash);
+                index.putInt(slot * SLOT_BYTES + 4, write + 1);
+                write += entryBytes;
+            }
+            read += entryBytes;
+        }
+        arenaUsed = write;
+        slotsUsed = uniqueSize;
+        deadBytes = 0;
+    }
+
+    // Double the index and reinsert every slot using the stored hashes
+    private void growIndex() {
+        int oldSlots = slotMask + 1;
+        int newSlots = oldSlots * 2;
+        ByteBuffer grown = ByteBuffer.allocateDirect(newSlots * SLOT_BYTES);
+        int newMask = newSlots - 1;
+        for (int i = 0; i < oldSlots; i++) {
+            int ref = index.getInt(i * SLOT_BYTES + 4);
+            if (ref == 0) {
+                continue;
+            }
+            int hash = index.getInt(i * SLOT_BYTES);
+            int slot = hash & newMask;
+            while (grown.getInt(slot * SLOT_BYTES + 4) != 0) {
+                slot = (slot + 1) & newMask;
+            }
+            grown.putInt(slot * SLOT_BYTES, hash);
+            grown.putInt(slot * SLOT_BYTES + 4, ref);
+        }
+        index = grown;
+        slotMask = newMask;
+    }
+
+    private String decode(int entry, int length) {
+        byte[] bytes = new byte[length];
+        arena.get(entry + ENTRY_HEADER_BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Encode a CharSequence as UTF-8 into the scratch buffer and return the byte length
+    private int encode(CharSequence item) {
+        int chars = item.length();
+        if (scratch.length < chars * 3) {
+            scratch = new byte[Math.max(chars * 3, scratch.length * 2)];
+        }
+        byte[] out = scratch;
+        int pos = 0;
+        for (int i = 0; i < chars; i++) {
+            char c = item.charAt(i);
+            if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars
+                       && Character.isLowSurrogate(item.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, item.charAt(++i));
+                out[pos++] = (byte) (0xF0 | (cp >> 18));
+                out[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                out[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: same replacement String.getBytes(UTF_8) uses
+                out[pos++] = (byte) '?';
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 1;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // Same hash as above, computed over key bytes already in the arena
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        int h = 1;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + buffer.get(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(long slots) {
+        int size = 1;
+        while (size < slots) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    // Compare heap occupancy and GC time against Bag<String> for many unique keys
+    // Usage: java OffHeapStringBag [keyCount]
+    public static void main(String[] args) {
+        int keyCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        StringBuilder key = new StringBuilder();
+
+        System.out.println("=== Bag<String> vs OffHeapStringBag, " + keyCount + " unique keys ===");
+
+        long gcBefore = gcMillis();
+        Bag<String> heapBag = new Bag<>();
+        for (int i = 0; i < keyCount; i++) {
+            heapBag.add("key-" + i);
+        }
+        // Read GC time before usedHeap(), which forces a full collection of its own
+        long gcTime = gcMillis() - gcBefore;
+        long heapUsed = usedHeap();
+        System.out.println("Bag<String>:      heap used " + heapUsed / (1024 * 1024) + " MB, GC time "
+            + gcTime + " ms, count(key-42) = " + heapBag.count("key-42"));
+        heapBag = null;
+        usedHeap();
+
+        gcBefore = gcMillis();
+        OffHeapStringBag offHeapBag = new OffHeapStringBag();
+        for (int i = 0; i < keyCount; i++) {
+            key.setLength(0);
+            key.append("key-").append(i);
+            offHeapBag.add(key);
+        }
+        gcTime = gcMillis() - gcBefore;
+        heapUsed = usedHeap();
+        System.out.println("OffHeapStringBag: heap used " + heapUsed / (1024 * 1024) + " MB, GC time "
+            + gcTime + " ms, count(key-42) = " + offHeapBag.count("key-42"));
+        System.out.println("OffHeapStringBag: off-heap memory " + offHeapBag.memoryUsage() / (1024 * 1024)
+            + " MB (" + offHeapBag.arenaBytesUsed() / (1024 * 1024) + " MB of keys and counts)");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -3,42 +3,53 @@ import java.util.*;
 public class RadixSort {
     
     public static void radixSort(int[] arr) {
-        if (arr == null || arr.length <= 1) return;
+        if (arr == null) return;
+        radixSort(arr, arr.length);
+    }
+    
+    // Sort only the first n elements, used for partially filled batches
+    // Handles negative numbers and the full int range: each digit keeps the sign
+    // of its number (-9..9), so 19 buckets order negatives before positives
+    public static void radixSort(int[] arr, int n) {
+        if (arr == null || n <= 1) return;
+        if (n > arr.length) {
+            throw new IllegalArgumentException("Length " + n + " exceeds array size " + arr.length);
+        }
         
-        int max = findMax(arr);
+        long maxMagnitude = findMaxMagnitude(arr, n);
         
-        // Process each digit position
-        for (int exp = 1; max / exp > 0; exp *= 10) {
-            countingSort(arr, exp);
+        // Process each digit position (long so exp cannot overflow past 10^9)
+        for (long exp = 1; maxMagnitude / exp > 0; exp *= 10) {
+            countingSort(arr, n, exp);
         }
     }
     
-    private static int findMax(int[] arr) {
-        int max = arr[0];
-        for (int num : arr) {
-            if (num > max) max = num;
+    private static long findMaxMagnitude(int[] arr, int n) {
+        long max = 0;
+        for (int i = 0; i < n; i++) {
+            long magnitude = Math.abs((long) arr[i]);
+            if (magnitude > max) max = magnitude;
         }
         return max;
     }
     
-    private static void countingSort(int[] arr, int exp) {
-        int n = arr.length;
+    private static void countingSort(int[] arr, int n, long exp) {
         int[] output = new int[n];
-        int[] count = new int[10]; // 0-9 digits
+        int[] count = new int[19]; // -9..9 digits, shifted by 9
         
         // Count occurrences of each digit
-        for (int num : arr) {
-            count[(num / exp) % 10]++;
+        for (int i = 0; i < n; i++) {
+            count[digit(arr[i], exp)]++;
         }
         
         // Convert counts to actual positions
-        for (int i = 1; i < 10; i++) {
+        for (int i = 1; i < 19; i++) {
             count[i] += count[i - 1];
         }
         
         // Build output array from right to left (stable sort)
         for (int i = n - 1; i >= 0; i--) {
-            int digit = (arr[i] / exp) % 10;
+            int digit = digit(arr[i], exp);
             output[count[digit] - 1] = arr[i];
             count[digit]--;
         }
@@ -47,6 +58,11 @@ public class RadixSort {
         System.arraycopy(output, 0, arr, 0, n);
     }
     
+    // Bucket index of the signed digit at position exp
+    private static int digit(int num, long exp) {
+        return (int) ((num / exp) % 10) + 9;
+    }
+    
     public static void main(String[] args) {
         int[] arr = {783, 99, 472, 182, 264, 543, 356, 295, 692, 491, 94};
         
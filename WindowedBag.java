@@ -0,0 +1,181 @@
+import java.util.*;
+import java.util.function.LongSupplier;
+
+// Sliding-window Bag: counts only the items added within the last windowMillis
+// The window is split into a ring of per-interval sub-bags. A running total bag
+// holds the sum of every live interval, so count() is a single lookup. When the
+// clock moves past an interval, that sub-bag's counts are subtracted from the
+// total and the sub-bag is reused. Each added occurrence is expired at most once,
+// so ingest stays O(1) amortized and no event log has to be replayed.
+public class WindowedBag<T> {
+    private final Bag<T>[] intervals;
+    private final Bag<T> total;
+    private final long intervalMillis;
+    private final LongSupplier clock;
+    // Index of the newest interval (time / intervalMillis)
+    private long currentInterval;
+
+    // Constructor: window of windowMillis split into the given number of intervals,
+    // driven by the system clock. windowMillis must be a multiple of intervalCount
+    public WindowedBag(long windowMillis, int intervalCount) {
+        this(windowMillis, intervalCount, System::currentTimeMillis);
+    }
+
+    // Constructor: same as above but with a caller supplied clock (milliseconds)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public WindowedBag(long windowMillis, int intervalCount, LongSupplier clock) {
+        if (intervalCount <= 0) {
+            throw new IllegalArgumentException("Interval count must be positive: " + intervalCount);
+        }
+        if (windowMillis < intervalCount) {
+            throw new IllegalArgumentException("Window must be at least one millisecond per interval");
+        }
+        if (windowMillis % intervalCount != 0) {
+            throw new IllegalArgumentException("Window of " + windowMillis + " ms cannot be split evenly into "
+                + intervalCount + " intervals");
+        }
+        this.intervalMillis = windowMillis / intervalCount;
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.intervals = (Bag<T>[]) new Bag[intervalCount];
+        for (int i = 0; i < intervalCount; i++) {
+            intervals[i] = new Bag<>();
+        }
+        this.total = new Bag<>();
+        this.currentInterval = Math.floorDiv(clock.getAsLong(), intervalMillis);
+    }
+
+    // Add an item at the current clock time
+    public void add(T item) {
+        advance();
+        intervals[slot(currentInterval)].add(item);
+        total.add(item);
+    }
+
+    // Add an item that happened at the given time
+    // Events older than the window are dropped, events in the future are counted
+    // in the newest interval
+    public void add(T item, long timeMillis) {
+        advance();
+        long interval = Math.min(Math.floorDiv(timeMillis, intervalMillis), currentInterval);
+        if (interval <= currentInterval - intervals.length) {
+            return;
+        }
+        intervals[slot(interval)].add(item);
+        total.add(item);
+    }
+
+    // Count the occurrences of an item inside the window
+    public int count(T item) {
+        advance();
+        return total.count(item);
+    }
+
+    // Check if an item occurred inside the window
+    public boolean contains(T item) {
+        advance();
+        return total.contains(item);
+    }
+
+    // Get the k most frequent items inside the window, highest count first
+    public List<T> topK(int k) {
+        advance();
+        return total.topK(k);
+    }
+
+    // Get the number of occurrences inside the window (including duplicates)
+    public int size() {
+        advance();
+        return total.size();
+    }
+
+    // Get the number of unique items inside the window
+    public int uniqueSize() {
+        advance();
+        return total.uniqueSize();
+    }
+
+    // Check if the window is empty
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Get a snapshot of the window contents as a regular Bag
+    public Bag<T> snapshot() {
+        advance();
+        Bag<T> copy = new Bag<>();
+        for (T item : total.getUniqueItems()) {
+            copy.add(item, total.count(item));
+        }
+        return copy;
+    }
+
+    // Clear all intervals
+    public void clear() {
+        for (Bag<T> interval : intervals) {
+            interval.clear();
+        }
+        total.clear();
+    }
+
+    // Move the window forward to the clock time, expiring intervals that fell out
+    private void advance() {
+        long now = Math.floorDiv(clock.getAsLong(), intervalMillis);
+        if (now <= currentInterval) {
+            return;
+        }
+        long steps = Math.min(now - currentInterval, intervals.length);
+        for (long i = 1; i <= steps; i++) {
+            expire(intervals[slot(currentInterval + i)]);
+        }
+        currentInterval = now;
+    }
+
+    // Subtract an interval's counts from the running total and empty it
+    private void expire(Bag<T> interval) {
+        if (interval.isEmpty()) {
+            return;
+        }
+        if (interval.size() == total.size()) {
+            // Only this interval is live, nothing to subtract item by item
+            total.clear();
+        } else {
+            for (T item : interval.getUniqueItems()) {
+                total.remove(item, interval.count(item));
+            }
+        }
+        interval.clear();
+    }
+
+    private int slot(long interval) {
+        return (int) Math.floorMod(interval, (long) intervals.length);
+    }
+
+    @Override
+    public String toString() {
+        return "Window: " + snapshot();
+    }
+
+    // Small demonstration using a manual clock
+    // Usage: java WindowedBag
+    public static void main(String[] args) {
+        long[] now = {0};
+        WindowedBag<String> window = new WindowedBag<>(5 * 60_000, 5, () -> now[0]);
+
+        window.add("apple");
+        window.add("apple");
+        window.add("banana");
+        System.out.println("t=0m   " + window + " | top: " + window.topK(2));
+
+        now[0] = 2 * 60_000;
+        window.add("banana");
+        window.add("banana");
+        window.add("cherry");
+        System.out.println("t=2m   " + window + " | top: " + window.topK(2));
+
+        now[0] = 5 * 60_000;
+        System.out.println("t=5m   " + window + " | top: " + window.topK(2));
+
+        now[0] = 7 * 60_000;
+        System.out.println("t=7m   " + window + " | top: " + window.topK(2));
+    }
+}